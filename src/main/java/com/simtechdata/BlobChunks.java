@@ -0,0 +1,98 @@
+package com.simtechdata;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * This holds the shared code behind writeBlob() and deleteBlob() in the SQLite and MySQL classes. A blob is stored as a series of rows in a blob table,
+ * one row per chunk, with the columns BlobKey, Seq, Gen and Data. Every chunk is CHUNK_SIZE bytes except the last one, and a blob always has at least
+ * the row with Seq 0, even when it is empty. Writing or reading a chunk only ever touches that one row, so the cost of each chunk does not depend on the size of the blob.
+ * Every write picks a new random Gen and stores it on all of its rows, which lets a BlobInputStream notice when the blob it is reading has been replaced.
+ */
+final class BlobChunks {
+
+    static final int CHUNK_SIZE = 256 * 1024;
+
+    private BlobChunks() {
+    }
+
+    /**
+     * Replaces the blob stored under key with the contents of the stream, one chunk at a time through a single reusable buffer.
+     * Everything happens in one transaction, so readers never see a half written blob, and every row gets the same new Gen.
+     * @param conn Connection - autocommit is turned off and the transaction is committed or rolled back here
+     * @param table String - the blob table
+     * @param key String
+     * @param in InputStream
+     * @return long the number of bytes stored
+     * @throws SQLException if the database fails or the stream cannot be read
+     */
+    static long write(Connection conn, String table, String key, InputStream in) throws SQLException {
+        byte[] buffer = new byte[CHUNK_SIZE];
+        long generation = ThreadLocalRandom.current().nextLong();
+        long total = 0;
+        conn.setAutoCommit(false);
+        try (PreparedStatement delete = conn.prepareStatement("DELETE FROM " + table + " WHERE BlobKey = ?");
+             PreparedStatement insert = conn.prepareStatement("INSERT INTO " + table + " (BlobKey, Seq, Gen, Data) VALUES (?, ?, ?, ?)")) {
+            delete.setString(1, key);
+            delete.executeUpdate();
+            insert.setString(1, key);
+            insert.setLong(3, generation);
+            int seq = 0;
+            while (true) {
+                int count = in.readNBytes(buffer, 0, CHUNK_SIZE);
+                if (count == 0 && seq > 0) {
+                    break;
+                }
+                insert.setInt(2, seq++);
+                insert.setBytes(4, count == CHUNK_SIZE ? buffer : Arrays.copyOf(buffer, count));
+                insert.executeUpdate();
+                total += count;
+                if (count < CHUNK_SIZE) {
+                    break;
+                }
+            }
+            conn.commit();
+            return total;
+        }
+        catch (SQLException | IOException e) {
+            SQLException error = e instanceof SQLException ? (SQLException) e : new SQLException("Could not read the blob stream", e);
+            rollback(conn, error);
+            throw error;
+        }
+    }
+
+    /**
+     * Removes every chunk of the blob stored under key.
+     * @param conn Connection
+     * @param table String - the blob table
+     * @param key String
+     * @return true if a blob was removed
+     * @throws SQLException if the database fails
+     */
+    static boolean delete(Connection conn, String table, String key) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("DELETE FROM " + table + " WHERE BlobKey = ?")) {
+            stmt.setString(1, key);
+            return stmt.executeUpdate() > 0;
+        }
+    }
+
+    /**
+     * Rolls back without letting a failed rollback hide the error that caused it. A rollback failure is added to error as a suppressed exception.
+     * MySQL.writePipelined() uses this too.
+     * @param conn Connection
+     * @param error SQLException - the original error that will be thrown by the caller
+     */
+    static void rollback(Connection conn, SQLException error) {
+        try {
+            conn.rollback();
+        }
+        catch (SQLException e) {
+            error.addSuppressed(e);
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.simtechdata;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * This is the InputStream handed back by openBlob() in the SQLite and MySQL classes. It reads a blob that was stored by writeBlob() one chunk row at a time,
+ * copying each chunk into a single reusable buffer, so only one chunk is held in memory no matter how large the blob is.
+ * Each chunk is read with its own short query in autocommit mode, so no lock or transaction is held between reads. To still hand back one consistent version
+ * of the blob, the Gen of the first chunk is remembered and every later chunk has to match it. If the blob was replaced or deleted part way through, the read
+ * that notices it throws an IOException. The Connection is closed when the stream is closed.
+ */
+class BlobInputStream extends InputStream {
+
+    private final Connection conn;
+    private final String table;
+    private final String key;
+    private final PreparedStatement chunkStmt;
+    private long generation;
+    private final byte[] buffer = new byte[BlobChunks.CHUNK_SIZE];
+    private int bufferLength = 0;
+    private int bufferIndex = 0;
+    private int nextSeq = 0;
+    private boolean lastChunk = false;
+    private boolean closed = false;
+
+    /**
+     * Opens the stream and reads the first chunk, which also checks that the blob exists.
+     * @param conn Connection that will be owned, and closed, by this stream
+     * @param table String - the blob table
+     * @param key String - the key the blob was stored under
+     * @throws SQLException if there is no blob stored under key or the query fails
+     */
+    BlobInputStream(Connection conn, String table, String key) throws SQLException {
+        this.conn = conn;
+        this.table = table;
+        this.key = key;
+        PreparedStatement stmt = null;
+        try {
+            stmt = conn.prepareStatement("SELECT Gen, Data FROM " + table + " WHERE BlobKey = ? AND Seq = ?");
+            stmt.setString(1, key);
+            this.chunkStmt = stmt;
+            if (!loadChunk()) {
+                throw new SQLException("No blob found in " + table + " with key " + key);
+            }
+        }
+        catch (SQLException | IOException e) {
+            SQLException error = e instanceof SQLException ? (SQLException) e : new SQLException(e.getMessage(), e);
+            try {
+                if (stmt != null) {
+                    stmt.close();
+                }
+                conn.close();
+            }
+            catch (SQLException closeError) {
+                error.addSuppressed(closeError);
+            }
+            throw error;
+        }
+    }
+
+    /**
+     * Reads the row for the next chunk into the buffer. The first chunk sets the Gen that every later chunk is checked against.
+     * @return false if there is no row for the next chunk
+     * @throws SQLException if the query fails
+     * @throws IOException if the chunk is larger than the buffer or the blob was replaced since the first chunk was read
+     */
+    private boolean loadChunk() throws SQLException, IOException {
+        chunkStmt.setInt(2, nextSeq);
+        try (ResultSet rs = chunkStmt.executeQuery()) {
+            if (!rs.next()) {
+                if (nextSeq > 0) {
+                    checkUnchanged();
+                }
+                lastChunk = true;
+                return false;
+            }
+            if (nextSeq == 0) {
+                generation = rs.getLong(1);
+            }
+            else if (rs.getLong(1) != generation) {
+                throw changed();
+            }
+            int count = 0;
+            try (InputStream data = rs.getBinaryStream(2)) {
+                if (data != null) {
+                    count = data.readNBytes(buffer, 0, buffer.length);
+                    if (data.read() != -1) {
+                        throw new IOException("Blob chunk " + nextSeq + " is larger than " + buffer.length + " bytes");
+                    }
+                }
+            }
+            nextSeq++;
+            bufferLength = count;
+            bufferIndex = 0;
+            lastChunk = count < buffer.length;
+            return true;
+        }
+    }
+
+    /**
+     * A missing row is either the real end of a blob whose size is a multiple of the chunk size, or a sign that the blob was replaced by a shorter one
+     * or deleted. Looking at the first chunk again tells the two apart.
+     * @throws SQLException if the query fails
+     * @throws IOException if the blob was replaced or deleted since the first chunk was read
+     */
+    private void checkUnchanged() throws SQLException, IOException {
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT Gen FROM " + table + " WHERE BlobKey = ? AND Seq = 0")) {
+            stmt.setString(1, key);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next() || rs.getLong(1) != generation) {
+                    throw changed();
+                }
+            }
+        }
+    }
+
+    private IOException changed() {
+        return new IOException("The blob in " + table + " with key " + key + " was replaced or deleted while it was being read");
+    }
+
+    /**
+     * Makes sure there is unread data in the buffer, fetching the next chunk when the current one has been used up.
+     * @return false when the end of the blob has been reached
+     * @throws IOException wraps any SQLException
+     */
+    private boolean fill() throws IOException {
+        if (closed) {
+            throw new IOException("Stream is closed");
+        }
+        while (bufferIndex >= bufferLength) {
+            if (lastChunk) {
+                return false;
+            }
+            try {
+                if (!loadChunk()) {
+                    return false;
+                }
+            }
+            catch (SQLException e) {
+                throw new IOException(e);
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!fill()) {
+            return -1;
+        }
+        return buffer[bufferIndex++] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (!fill()) {
+            return -1;
+        }
+        int count = Math.min(len, bufferLength - bufferIndex);
+        System.arraycopy(buffer, bufferIndex, b, off, count);
+        bufferIndex += count;
+        return count;
+    }
+
+    @Override
+    public int available() throws IOException {
+        if (closed) {
+            return 0;
+        }
+        return bufferLength - bufferIndex;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try (conn) {
+            chunkStmt.close();
+        }
+        catch (SQLException e) {
+            throw new IOException(e);
+        }
+    }
+}
@@ -1,6 +1,11 @@
 package com.simtechdata;
 
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
 import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * This is the class used for accessing a MySQL server on your network or locally on your machine
@@ -171,9 +176,24 @@ public class MySQL {
      * @throws SQLException           Error handling to be done in your code
      */
     public Connection getConn() throws ClassNotFoundException, SQLException {
+        return getConn("");
+    }
+
+    /**
+     * Same as getConn() but lets the class add Connector/J options to the connection string for the methods that need them.
+     *
+     * @param options String - for example "allowMultiQueries=true", or "" for none
+     * @return Connection
+     * @throws ClassNotFoundException Error handling to be done in your code
+     * @throws SQLException           Error handling to be done in your code
+     */
+    private Connection getConn(String options) throws ClassNotFoundException, SQLException {
         String password = this.password;
         Class.forName("com.mysql.cj.jdbc.Driver");
         String connString = baseConnString + host + ":" + port + "/" + schema;
+        if (!options.isEmpty()) {
+            connString += "?" + options;
+        }
         if (env != null) {
             password = System.getenv(env);
         }
@@ -227,6 +247,101 @@ public class MySQL {
         }
     }
 
+    /**
+     * This works like execUpdate, except that all of the SPLIT commands are sent to the server as one batch in a multi-statement packet instead of one
+     * round trip per command, which makes a big difference when the server is far away. It returns the update count of each command in the order they were given.
+     * Only commands that change data or structure can be pipelined, because a batch cannot return rows.
+     * When useTransaction is true, the commands run inside a single transaction that is rolled back if any of them fails. Keep in mind that MySQL commits implicitly on DDL such as CREATE TABLE.
+     * @param SQL Your SQL string
+     * @param useTransaction boolean
+     * @return int[] update counts
+     */
+    public int[] execPipelined(final String SQL, boolean useTransaction) {
+        try {
+            return writePipelined(SQL, useTransaction);
+        }
+        catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+        catch (ClassNotFoundException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Same as execPipelined(SQL, false)
+     * @param SQL Your SQL string
+     * @return int[] update counts
+     */
+    public int[] execPipelined(final String SQL) {
+        return execPipelined(SQL, false);
+    }
+
+    /**
+     * This is the same method as execPipelined, only this one returns any errors back to you for handling.
+     * If a command fails, nothing after it is run and you get a BatchUpdateException whose getUpdateCounts() holds the counts of the commands that ran before it,
+     * so the failed command is number getUpdateCounts().length + 1. Without a transaction, those earlier commands stay in the database.
+     * @param SQL Your SQL string
+     * @param useTransaction boolean
+     * @return int[] update counts
+     * @throws SQLException           Error handling to be done in your code
+     * @throws ClassNotFoundException Error handling to be done in your code
+     */
+    public int[] writePipelined(final String SQL, boolean useTransaction) throws SQLException, ClassNotFoundException {
+        List<String> parts = new ArrayList<>();
+        for (String part : SQL.split("SPLIT")) {
+            String statement = part.trim();
+            while (statement.endsWith(";")) {
+                statement = statement.substring(0, statement.length() - 1).trim();
+            }
+            if (!statement.isEmpty()) {
+                parts.add(statement);
+            }
+        }
+        try (Connection conn = getConn("allowMultiQueries=true&continueBatchOnError=false");
+             Statement stmt = conn.createStatement()) {
+            if (useTransaction) {
+                conn.setAutoCommit(false);
+            }
+            for (String part : parts) {
+                stmt.addBatch(part);
+            }
+            try {
+                int[] counts = stmt.executeBatch();
+                if (useTransaction) {
+                    conn.commit();
+                }
+                return counts;
+            }
+            catch (BatchUpdateException e) {
+                int[] counts = e.getUpdateCounts() == null ? new int[0] : e.getUpdateCounts();
+                String msg = "Command " + (counts.length + 1) + " of " + parts.size() + " failed: " + e.getMessage();
+                BatchUpdateException error = new BatchUpdateException(msg, e.getSQLState(), e.getErrorCode(), counts, e);
+                if (useTransaction) {
+                    BlobChunks.rollback(conn, error);
+                }
+                throw error;
+            }
+            catch (SQLException e) {
+                if (useTransaction) {
+                    BlobChunks.rollback(conn, e);
+                }
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Same as writePipelined(SQL, false)
+     * @param SQL Your SQL string
+     * @return int[] update counts
+     * @throws SQLException           Error handling to be done in your code
+     * @throws ClassNotFoundException Error handling to be done in your code
+     */
+    public int[] writePipelined(final String SQL) throws SQLException, ClassNotFoundException {
+        return writePipelined(SQL, false);
+    }
+
     /**
      * Use this method to get a ResultSet object from a static SQL String.
      *
@@ -276,4 +391,80 @@ public class MySQL {
         }
         return "";
     }
+
+    /**
+     * Use this to create a table for storing large objects with writeBlob() and reading them back with openBlob(). It does nothing if the table already exists.
+     * Each blob is kept as a series of 256 KB chunk rows, with the columns BlobKey, Seq, Gen and Data, so that a blob of any size can be written and read
+     * one chunk at a time instead of being loaded into memory all at once.
+     * @param table String
+     * @return true if successful
+     * @throws SQLException           Error handling to be done in your code
+     * @throws ClassNotFoundException Error handling to be done in your code
+     */
+    public boolean createBlobTable(String table) throws SQLException, ClassNotFoundException {
+        String SQL = "CREATE TABLE IF NOT EXISTS " + table + " (BlobKey VARCHAR(255) NOT NULL, Seq INT NOT NULL, Gen BIGINT NOT NULL, Data MEDIUMBLOB NOT NULL, PRIMARY KEY (BlobKey, Seq)) ENGINE = InnoDB;";
+        try (Connection conn = getConn();
+             Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate(SQL);
+        }
+        return true;
+    }
+
+    /**
+     * Use this method to store a large object in a table made with createBlobTable(). The stream is read and sent to the server one 256 KB chunk at a time through a single buffer,
+     * so storing a very large object does not need much memory. Anything already stored under key is replaced, and the whole write happens in one transaction.
+     * @param table String - a table made with createBlobTable()
+     * @param key String - the name to store the blob under
+     * @param in InputStream - the data to store, read until it ends
+     * @return long the number of bytes stored
+     * @throws SQLException           Error handling to be done in your code
+     * @throws ClassNotFoundException Error handling to be done in your code
+     */
+    public long writeBlob(String table, String key, InputStream in) throws SQLException, ClassNotFoundException {
+        try (Connection conn = getConn()) {
+            return BlobChunks.write(conn, table, key, in);
+        }
+    }
+
+    /**
+     * Use this method to read a blob stored with writeBlob() as a stream. The blob is pulled from the server one 256 KB chunk at a time as you read from the stream,
+     * so very large objects can be copied to a file or a socket without needing much memory.
+     * Each chunk is read with its own short query rather than one transaction for the life of the stream, so a stream that is left open does not hold back
+     * InnoDB purge. If the blob is replaced or deleted while you are reading it, the next read throws an IOException instead of mixing the two versions.
+     * The stream holds its own Connection, so be sure to close it when you are done.
+     * @param table String - a table made with createBlobTable()
+     * @param key String - the name the blob was stored under
+     * @return InputStream
+     * @throws SQLException           Error handling to be done in your code
+     * @throws ClassNotFoundException Error handling to be done in your code
+     */
+    public InputStream openBlob(String table, String key) throws SQLException, ClassNotFoundException {
+        return new BlobInputStream(getConn(), table, key);
+    }
+
+    /**
+     * This is the same method as openBlob, only it gives you a ReadableByteChannel for use with NIO code such as FileChannel.transferFrom().
+     * @param table String - a table made with createBlobTable()
+     * @param key String - the name the blob was stored under
+     * @return ReadableByteChannel
+     * @throws SQLException           Error handling to be done in your code
+     * @throws ClassNotFoundException Error handling to be done in your code
+     */
+    public ReadableByteChannel openBlobChannel(String table, String key) throws SQLException, ClassNotFoundException {
+        return Channels.newChannel(openBlob(table, key));
+    }
+
+    /**
+     * Removes a blob stored with writeBlob()
+     * @param table String - a table made with createBlobTable()
+     * @param key String - the name the blob was stored under
+     * @return true if a blob was removed, false if nothing was stored under key
+     * @throws SQLException           Error handling to be done in your code
+     * @throws ClassNotFoundException Error handling to be done in your code
+     */
+    public boolean deleteBlob(String table, String key) throws SQLException, ClassNotFoundException {
+        try (Connection conn = getConn()) {
+            return BlobChunks.delete(conn, table, key);
+        }
+    }
 }
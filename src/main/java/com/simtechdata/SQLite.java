@@ -2,10 +2,19 @@ package com.simtechdata;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.sql.*;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * This is the class that you will use to create a SQLite database and interact with it
@@ -18,6 +27,13 @@ public class SQLite {
     private final String filename;
     private final String schema;
     private final boolean useForeignKeys;
+    private final int busyTimeout;
+    private final int busyRetries;
+    private final long busyBackoffMillis;
+    private final long busyMaxBackoffMillis;
+    private final AtomicLong busyRetryCount = new AtomicLong();
+    private final AtomicLong busyWaitNanos = new AtomicLong();
+    private final AtomicLong lockHoldNanos = new AtomicLong();
     private File sqlIteFile;
 
     /**
@@ -29,6 +45,10 @@ public class SQLite {
         private String filename;
         private String schema;
         private boolean useForeignKeys = false;
+        private int busyTimeout = 0;
+        private int busyRetries = 0;
+        private long busyBackoffMillis = 10;
+        private long busyMaxBackoffMillis = 1000;
 
         /**
          * Standard Builder constructor.
@@ -113,6 +133,42 @@ public class SQLite {
             return this;
         }
 
+        /**
+         * Sets how long, in milliseconds, SQLite itself will keep trying when another connection has the database locked before it gives up with SQLITE_BUSY.
+         * This is set on every Connection you get from getConn(). Leave it at 0 to keep the driver default.
+         * @param busyTimeout int milliseconds
+         * @return Builder
+         */
+        public Builder setBusyTimeout(int busyTimeout) {
+            this.busyTimeout = busyTimeout;
+            return this;
+        }
+
+        /**
+         * Sets how many times execUpdate, writeUpdate and execTransaction will retry after SQLITE_BUSY, which means another connection had the database locked.
+         * execUpdate and writeUpdate only retry commands that run on their own, outside of any BEGIN ... COMMIT you pass in, because a busy command on its own has not changed anything.
+         * execTransaction rolls back and retries the whole transaction. The default is 0, which means busy errors are thrown right away.
+         * @param busyRetries int
+         * @return Builder
+         */
+        public Builder setBusyRetries(int busyRetries) {
+            this.busyRetries = busyRetries;
+            return this;
+        }
+
+        /**
+         * Sets the wait between busy retries. The wait doubles after each retry up to maxMillis, and a random amount of it is used each time
+         * so that several writers that collided do not all try again at the same moment. The defaults are 10 and 1000.
+         * @param initialMillis long
+         * @param maxMillis long
+         * @return Builder
+         */
+        public Builder setBusyBackoff(long initialMillis, long maxMillis) {
+            this.busyBackoffMillis = initialMillis;
+            this.busyMaxBackoffMillis = maxMillis;
+            return this;
+        }
+
         /**
          * This must end your build sentence as it returns the SQLite instance
          * @return SQLite instance
@@ -143,6 +199,10 @@ public class SQLite {
         this.filename       = b.filename;
         this.schema         = b.schema;
         this.useForeignKeys = b.useForeignKeys;
+        this.busyTimeout    = b.busyTimeout;
+        this.busyRetries    = b.busyRetries;
+        this.busyBackoffMillis    = b.busyBackoffMillis;
+        this.busyMaxBackoffMillis = b.busyMaxBackoffMillis;
 
         if(!Paths.get(filePath, filename).toFile().exists()) {
             if (!createNewDatabase()) {
@@ -167,6 +227,8 @@ public class SQLite {
             conn.setSchema(databaseName);
         if(useForeignKeys)
             conn.prepareStatement("PRAGMA foreign_keys = ON;").execute();
+        if(busyTimeout > 0)
+            conn.prepareStatement("PRAGMA busy_timeout = " + busyTimeout + ";").execute();
         return conn;
     }
 
@@ -209,10 +271,7 @@ public class SQLite {
     public boolean execUpdate(final String SQL) {
         try (Connection conn = getConn();
              Statement stmt = conn.createStatement()) {
-            String[] parts = SQL.split("SPLIT");
-            for(String part : parts) {
-                stmt.executeUpdate(part);
-            }
+            executeParts(conn, stmt, SQL.split("SPLIT"));
             return true;
         }
         catch (SQLException e) {
@@ -220,6 +279,284 @@ public class SQLite {
         }
     }
 
+    /**
+     * Use this method to run several SQL commands as one write transaction. You can pass in multiple separate SQL commands by separating each command with a new line containing the word SPLIT
+     * The transaction is started with BEGIN IMMEDIATE, which takes the write lock up front. That way two connections cannot both start reading and then deadlock
+     * when each tries to upgrade to a write. If the database is busy, the whole transaction is rolled back and tried again as set by setBusyRetries() on the Builder.
+     * @param SQL String
+     * @return true if successful
+     */
+    public boolean execTransaction(final String SQL) {
+        try {
+            return writeTransaction(SQL);
+        }
+        catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * This is the same method as execTransaction, only this one returns any errors back to you for handling.
+     * @param SQL String
+     * @return true if successful
+     * @throws SQLException Error handling to be done in your code
+     */
+    public boolean writeTransaction(final String SQL) throws SQLException {
+        String[] parts = SQL.split("SPLIT");
+        try (Connection conn = getConn();
+             Statement stmt = conn.createStatement()) {
+            int attempt = 0;
+            while (true) {
+                long attemptStart = System.nanoTime();
+                long lockStart = 0;
+                try {
+                    stmt.executeUpdate("BEGIN IMMEDIATE;");
+                    lockStart = System.nanoTime();
+                    for (String part : parts) {
+                        stmt.executeUpdate(part);
+                    }
+                    stmt.executeUpdate("COMMIT;");
+                    lockHoldNanos.addAndGet(System.nanoTime() - lockStart);
+                    return true;
+                }
+                catch (SQLException e) {
+                    if (lockStart > 0) {
+                        try {
+                            stmt.executeUpdate("ROLLBACK;");
+                        }
+                        catch (SQLException ignored) {
+                            // SQLite may have already rolled the transaction back on its own
+                        }
+                        lockHoldNanos.addAndGet(System.nanoTime() - lockStart);
+                    }
+                    if (!isBusy(e) || attempt >= busyRetries) {
+                        throw e;
+                    }
+                    backoff(attempt++, attemptStart);
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs the SPLIT commands for execUpdate and writeUpdate. A command is only retried when it runs on its own in autocommit mode, where a busy command has not changed anything.
+     * Once a BEGIN or SAVEPOINT in the commands opens a transaction, nothing is retried until COMMIT, END or ROLLBACK closes it, because a busy error inside a transaction
+     * cannot clear until that transaction rolls back, and sleeping while holding its locks only makes the contention worse.
+     * @param conn Connection
+     * @param stmt Statement
+     * @param parts String[]
+     * @throws SQLException when a command fails
+     */
+    private void executeParts(Connection conn, Statement stmt, String[] parts) throws SQLException {
+        TransactionTracker transaction = new TransactionTracker(!conn.getAutoCommit());
+        for (String part : parts) {
+            if (transaction.isOpen()) {
+                stmt.executeUpdate(part);
+            }
+            else {
+                executeWithRetry(stmt, part);
+            }
+            transaction.after(part);
+        }
+    }
+
+    /**
+     * Works out whether a transaction is open as the SPLIT commands of an update run one after another, by looking at the commands that start and end transactions.
+     * A transaction started by SAVEPOINT instead of BEGIN ends when its outermost savepoint is released, so the open savepoints are kept in a stack.
+     * Comments in front of a command are skipped before its keyword is read.
+     */
+    private static final class TransactionTracker {
+
+        private final Deque<String> savepoints = new ArrayDeque<>();
+        private boolean open;
+        private boolean startedBySavepoint = false;
+
+        /**
+         * @param open boolean - true when the caller already has a transaction open on the Connection
+         */
+        TransactionTracker(boolean open) {
+            this.open = open;
+        }
+
+        boolean isOpen() {
+            return open;
+        }
+
+        /**
+         * Updates the state after a command has run successfully.
+         * @param SQL String - the command that ran
+         */
+        void after(String SQL) {
+            String[] words = skipComments(SQL).toUpperCase(Locale.ROOT).split("[\\s;]+");
+            String keyword = words[0];
+            if (keyword.equals("BEGIN")) {
+                close();
+                open = true;
+            }
+            else if (keyword.equals("SAVEPOINT")) {
+                if (!open) {
+                    open = true;
+                    startedBySavepoint = true;
+                }
+                savepoints.push(savepointName(words, 1));
+            }
+            else if (keyword.equals("RELEASE")) {
+                String name = savepointName(words, 1);
+                if (savepoints.contains(name)) {
+                    String released;
+                    do {
+                        released = savepoints.pop();
+                    } while (!released.equals(name));
+                    if (savepoints.isEmpty() && startedBySavepoint) {
+                        close();
+                    }
+                }
+            }
+            else if (keyword.equals("ROLLBACK")) {
+                int to = Arrays.asList(words).indexOf("TO");
+                if (to < 0) {
+                    close();
+                }
+                else {
+                    String name = savepointName(words, to + 1);
+                    while (savepoints.contains(name) && !savepoints.peek().equals(name)) {
+                        savepoints.pop();
+                    }
+                }
+            }
+            else if (keyword.equals("COMMIT") || keyword.equals("END")) {
+                close();
+            }
+        }
+
+        private void close() {
+            open = false;
+            startedBySavepoint = false;
+            savepoints.clear();
+        }
+
+        /**
+         * Returns the savepoint name at index, skipping the optional SAVEPOINT keyword and any quotes around the name. SQLite compares savepoint names without regard to case.
+         */
+        private static String savepointName(String[] words, int index) {
+            if (index < words.length && words[index].equals("SAVEPOINT")) {
+                index++;
+            }
+            if (index >= words.length) {
+                return "";
+            }
+            return words[index].replaceAll("^[\"'`\\[]|[\"'`\\]]$", "");
+        }
+
+        /**
+         * Returns the command with any whitespace, -- line comments and block comments in front of it removed.
+         */
+        private static String skipComments(String SQL) {
+            String command = SQL.strip();
+            while (true) {
+                if (command.startsWith("--")) {
+                    int end = command.indexOf('\n');
+                    command = end < 0 ? "" : command.substring(end + 1).strip();
+                }
+                else if (command.startsWith("/*")) {
+                    int end = command.indexOf("*/", 2);
+                    command = end < 0 ? "" : command.substring(end + 2).strip();
+                }
+                else {
+                    return command;
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs one command, retrying it with backoff while the database is busy, up to the number of retries set on the Builder.
+     * @param stmt Statement
+     * @param SQL String
+     * @throws SQLException when the command fails for any other reason or runs out of retries
+     */
+    private void executeWithRetry(Statement stmt, String SQL) throws SQLException {
+        int attempt = 0;
+        while (true) {
+            long attemptStart = System.nanoTime();
+            try {
+                stmt.executeUpdate(SQL);
+                return;
+            }
+            catch (SQLException e) {
+                if (!isBusy(e) || attempt >= busyRetries) {
+                    throw e;
+                }
+                backoff(attempt++, attemptStart);
+            }
+        }
+    }
+
+    /**
+     * SQLITE_BUSY is 5. The low byte is checked so that extended codes such as SQLITE_BUSY_SNAPSHOT are included.
+     * SQLITE_LOCKED (6) is left out because it is a conflict within the same connection, which waiting will not clear.
+     * @param e SQLException
+     * @return true if the error means another connection had the database busy
+     */
+    private static boolean isBusy(SQLException e) {
+        return (e.getErrorCode() & 0xff) == 5;
+    }
+
+    /**
+     * Sleeps for a random time between zero and the current backoff limit, which doubles with each attempt, and adds the time lost to the contention counters.
+     * @param attempt int - zero for the first retry
+     * @param attemptStart long - System.nanoTime() when the failed attempt started
+     * @throws SQLException if the thread is interrupted while waiting
+     */
+    private void backoff(int attempt, long attemptStart) throws SQLException {
+        long limit = Math.min(busyMaxBackoffMillis, busyBackoffMillis << Math.min(attempt, 20));
+        long sleep = ThreadLocalRandom.current().nextLong(Math.max(limit, 0) + 1);
+        busyRetryCount.incrementAndGet();
+        try {
+            Thread.sleep(sleep);
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a busy database", e);
+        }
+        finally {
+            busyWaitNanos.addAndGet(System.nanoTime() - attemptStart);
+        }
+    }
+
+    /**
+     * Returns the number of times a command or transaction has been retried because the database was busy
+     * @return long
+     */
+    public long getBusyRetryCount() {
+        return busyRetryCount.get();
+    }
+
+    /**
+     * Returns the total time, in milliseconds, lost to busy errors. This counts the failed attempts, including any time SQLite spent in its own busy timeout, plus the backoff sleeps.
+     * @return long
+     */
+    public long getBusyWaitMillis() {
+        return busyWaitNanos.get() / 1_000_000;
+    }
+
+    /**
+     * Returns the total time, in milliseconds, that execTransaction and writeTransaction have held the write lock
+     * @return long
+     */
+    public long getLockHoldMillis() {
+        return lockHoldNanos.get() / 1_000_000;
+    }
+
+    /**
+     * Sets the busy retry count, busy wait time and lock hold time back to zero
+     */
+    public void resetContentionStats() {
+        busyRetryCount.set(0);
+        busyWaitNanos.set(0);
+        lockHoldNanos.set(0);
+    }
+
     /**
      * Use this method to get a ResultSet object from a static SQL String.
      *
@@ -244,10 +581,7 @@ public class SQLite {
     public boolean writeUpdate(final String SQL) throws SQLException, ClassNotFoundException {
         Connection conn = getConn();
         Statement stmt = conn.createStatement();
-        String[] parts = SQL.split("SPLIT");
-        for (String part : parts) {
-            stmt.executeUpdate(part);
-        }
+        executeParts(conn, stmt, SQL.split("SPLIT"));
         stmt.close();
         conn.close();
         return true;
@@ -261,14 +595,217 @@ public class SQLite {
      * @throws SQLException           Error handling to be done in your code
      */
     public String readData(final String SQL) throws SQLException {
-        Connection conn = getConn();
-        ResultSet rs = conn.createStatement().executeQuery(SQL);
-        if(rs.next()) {
-            return rs.getString(1);
+        try (Connection conn = getConn();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(SQL)) {
+            if(rs.next()) {
+                return rs.getString(1);
+            }
         }
         return "";
     }
 
+    /**
+     * Use this method to create an FTS5 full text index over columns of an existing table, so that text searches no longer need to scan the table with LIKE.
+     * The index uses external content mode, which means it points back at the rows in your table instead of holding a second copy of the text.
+     * When useTriggers is true, triggers are created on your table that keep the index in sync on every INSERT, UPDATE and DELETE. When it is false, the index
+     * is only brought up to date when you call rebuildFullTextIndex(), which is the faster choice when you are loading a large amount of data at once.
+     * @param indexName String - the name of the FTS5 table that will be created
+     * @param table String - the table holding the text
+     * @param useTriggers boolean
+     * @param columns String... - the columns to index
+     * @return true if successful
+     * @throws SQLException Error handling to be done in your code
+     */
+    public boolean createFullTextIndex(String indexName, String table, boolean useTriggers, String... columns) throws SQLException {
+        if (columns.length == 0) {
+            throw new SQLException("At least one column is needed for a full text index");
+        }
+        String columnList = String.join(", ", columns);
+        String newValues = "new." + String.join(", new.", columns);
+        String oldValues = "old." + String.join(", old.", columns);
+        String insertNew = "INSERT INTO " + indexName + "(rowid, " + columnList + ") VALUES (new.rowid, " + newValues + ");";
+        String deleteOld = "INSERT INTO " + indexName + "(" + indexName + ", rowid, " + columnList + ") VALUES ('delete', old.rowid, " + oldValues + ");";
+        try (Connection conn = getConn();
+             Statement stmt = conn.createStatement()) {
+            conn.setAutoCommit(false);
+            try {
+                stmt.executeUpdate("CREATE VIRTUAL TABLE " + indexName + " USING fts5(" + columnList + ", content='" + table + "');");
+                if (useTriggers) {
+                    stmt.executeUpdate("CREATE TRIGGER " + indexName + "_ai AFTER INSERT ON " + table + " BEGIN " + insertNew + " END;");
+                    stmt.executeUpdate("CREATE TRIGGER " + indexName + "_ad AFTER DELETE ON " + table + " BEGIN " + deleteOld + " END;");
+                    stmt.executeUpdate("CREATE TRIGGER " + indexName + "_au AFTER UPDATE ON " + table + " BEGIN " + deleteOld + " " + insertNew + " END;");
+                }
+                stmt.executeUpdate("INSERT INTO " + indexName + "(" + indexName + ") VALUES ('rebuild');");
+                conn.commit();
+            }
+            catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Use this to search a full text index created with createFullTextIndex(). The query uses the FTS5 MATCH syntax, so you can use words, "phrases", prefix* searches and AND / OR / NOT.
+     * Results are ordered best match first and paged with limit and offset. Each row holds the rowid, the indexed columns, the rank and a snippet column
+     * containing a short piece of the matching text with the matched words wrapped in [ and ].
+     * @param indexName String
+     * @param query String - the FTS5 MATCH expression
+     * @param limit int - the number of rows to return
+     * @param offset int - the number of rows to skip
+     * @return ResultSet
+     * @throws SQLException Error handling to be done in your code
+     */
+    public ResultSet searchFullText(String indexName, String query, int limit, int offset) throws SQLException {
+        return searchFullText(indexName, query, limit, offset, "[", "]");
+    }
+
+    /**
+     * This is the same method as searchFullText, only you decide what goes before and after each matched word in the snippet column, for example "<b>" and "</b>".
+     * @param indexName String
+     * @param query String - the FTS5 MATCH expression
+     * @param limit int - the number of rows to return
+     * @param offset int - the number of rows to skip
+     * @param openMark String - placed before each matched word in the snippet
+     * @param closeMark String - placed after each matched word in the snippet
+     * @return ResultSet
+     * @throws SQLException Error handling to be done in your code
+     */
+    public ResultSet searchFullText(String indexName, String query, int limit, int offset, String openMark, String closeMark) throws SQLException {
+        String SQL = "SELECT rowid, *, rank, snippet(" + indexName + ", -1, ?, ?, '...', 16) AS snippet FROM " + indexName +
+                     " WHERE " + indexName + " MATCH ? ORDER BY rank LIMIT ? OFFSET ?";
+        Connection conn = getConn();
+        PreparedStatement stmt = conn.prepareStatement(SQL);
+        stmt.setString(1, openMark);
+        stmt.setString(2, closeMark);
+        stmt.setString(3, query);
+        stmt.setInt(4, limit);
+        stmt.setInt(5, offset);
+        return stmt.executeQuery();
+    }
+
+    /**
+     * Rebuilds a full text index from the rows in its table. Use this after a bulk load into a table whose index was created without triggers,
+     * or any time you think the index has gotten out of step with the table.
+     * @param indexName String
+     * @return true if successful
+     * @throws SQLException Error handling to be done in your code
+     */
+    public boolean rebuildFullTextIndex(String indexName) throws SQLException {
+        try (Connection conn = getConn();
+             Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("INSERT INTO " + indexName + "(" + indexName + ") VALUES ('rebuild');");
+        }
+        return true;
+    }
+
+    /**
+     * Merges the internal pieces of a full text index into one, which makes searches faster after a lot of inserts, updates or deletes.
+     * This can take a while on a large index, so it is best run after a bulk load or during quiet periods.
+     * @param indexName String
+     * @return true if successful
+     * @throws SQLException Error handling to be done in your code
+     */
+    public boolean optimizeFullTextIndex(String indexName) throws SQLException {
+        try (Connection conn = getConn();
+             Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("INSERT INTO " + indexName + "(" + indexName + ") VALUES ('optimize');");
+        }
+        return true;
+    }
+
+    /**
+     * Removes a full text index along with any triggers that createFullTextIndex() made for it. Your table and its data are not touched.
+     * @param indexName String
+     * @return true if successful
+     * @throws SQLException Error handling to be done in your code
+     */
+    public boolean dropFullTextIndex(String indexName) throws SQLException {
+        try (Connection conn = getConn();
+             Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("DROP TRIGGER IF EXISTS " + indexName + "_ai;");
+            stmt.executeUpdate("DROP TRIGGER IF EXISTS " + indexName + "_ad;");
+            stmt.executeUpdate("DROP TRIGGER IF EXISTS " + indexName + "_au;");
+            stmt.executeUpdate("DROP TABLE IF EXISTS " + indexName + ";");
+        }
+        return true;
+    }
+
+    /**
+     * Use this to create a table for storing large objects with writeBlob() and reading them back with openBlob(). It does nothing if the table already exists.
+     * Each blob is kept as a series of 256 KB chunk rows, with the columns BlobKey, Seq, Gen and Data, so that a blob of any size can be written and read
+     * one chunk at a time instead of being loaded into memory all at once.
+     * @param table String
+     * @return true if successful
+     * @throws SQLException Error handling to be done in your code
+     */
+    public boolean createBlobTable(String table) throws SQLException {
+        String SQL = "CREATE TABLE IF NOT EXISTS " + table + " (BlobKey TEXT NOT NULL, Seq INTEGER NOT NULL, Gen INTEGER NOT NULL, Data BLOB NOT NULL, PRIMARY KEY (BlobKey, Seq));";
+        try (Connection conn = getConn();
+             Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate(SQL);
+        }
+        return true;
+    }
+
+    /**
+     * Use this method to store a large object in a table made with createBlobTable(). The stream is read and written one 256 KB chunk at a time through a single buffer,
+     * so storing a very large object does not need much memory. Anything already stored under key is replaced, and the whole write happens in one transaction.
+     * @param table String - a table made with createBlobTable()
+     * @param key String - the name to store the blob under
+     * @param in InputStream - the data to store, read until it ends
+     * @return long the number of bytes stored
+     * @throws SQLException Error handling to be done in your code
+     */
+    public long writeBlob(String table, String key, InputStream in) throws SQLException {
+        try (Connection conn = getConn()) {
+            return BlobChunks.write(conn, table, key, in);
+        }
+    }
+
+    /**
+     * Use this method to read a blob stored with writeBlob() as a stream. The blob is read one 256 KB chunk at a time as you read from the stream,
+     * so very large objects can be copied to a file or a socket without needing much memory.
+     * Each chunk is read with its own short query rather than one transaction for the life of the stream, so a stream that is left open does not keep other
+     * connections from writing. If the blob is replaced or deleted while you are reading it, the next read throws an IOException instead of mixing the two versions.
+     * In the default rollback journal mode a writer still has to wait for any chunk query that is running at that moment, so if you stream blobs while other
+     * connections are writing, switch the file to WAL mode with execUpdate("PRAGMA journal_mode = WAL;"), where readers and writers do not block each other at all.
+     * The stream holds its own Connection, so be sure to close it when you are done.
+     * @param table String - a table made with createBlobTable()
+     * @param key String - the name the blob was stored under
+     * @return InputStream
+     * @throws SQLException Error handling to be done in your code
+     */
+    public InputStream openBlob(String table, String key) throws SQLException {
+        return new BlobInputStream(getConn(), table, key);
+    }
+
+    /**
+     * This is the same method as openBlob, only it gives you a ReadableByteChannel for use with NIO code such as FileChannel.transferFrom().
+     * @param table String - a table made with createBlobTable()
+     * @param key String - the name the blob was stored under
+     * @return ReadableByteChannel
+     * @throws SQLException Error handling to be done in your code
+     */
+    public ReadableByteChannel openBlobChannel(String table, String key) throws SQLException {
+        return Channels.newChannel(openBlob(table, key));
+    }
+
+    /**
+     * Removes a blob stored with writeBlob()
+     * @param table String - a table made with createBlobTable()
+     * @param key String - the name the blob was stored under
+     * @return true if a blob was removed, false if nothing was stored under key
+     * @throws SQLException Error handling to be done in your code
+     */
+    public boolean deleteBlob(String table, String key) throws SQLException {
+        try (Connection conn = getConn()) {
+            return BlobChunks.delete(conn, table, key);
+        }
+    }
+
     /**
      * Returns the full path to the database file
      * @return String
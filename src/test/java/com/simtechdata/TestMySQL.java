@@ -1,8 +1,13 @@
 package com.simtechdata;
 
+import java.sql.BatchUpdateException;
 import java.sql.SQLException;
+import java.util.Arrays;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class TestMySQL {
 
@@ -37,6 +42,32 @@ public class TestMySQL {
         System.out.println("Data read from table:      " + actual);
         assertEquals(expected, actual, "Result for reading data from table should have been TestItem but it was " + actual);
 
+        SQL = """
+                INSERT INTO TestTable (TestItem1) VALUES('Pipelined1');
+                SPLIT
+                INSERT INTO TestTable (TestItem1) VALUES('Pipelined2');
+                SPLIT
+                UPDATE TestTable SET TestItem1 = 'Pipelined' WHERE TestItem1 LIKE 'Pipelined%';
+                """;
+        int[] counts = mySQL.writePipelined(SQL, true);
+        System.out.println("Pipelined update counts:   " + Arrays.toString(counts));
+        assertArrayEquals(new int[]{1, 1, 2}, counts, "Each pipelined command should have reported its own update count");
+
+        SQL = """
+                INSERT INTO TestTable (TestItem1) VALUES('RolledBack');
+                SPLIT
+                INSERT INTO NoSuchTable (TestItem1) VALUES('Fails');
+                SPLIT
+                INSERT INTO TestTable (TestItem1) VALUES('NeverRun');
+                """;
+        final String failing = SQL;
+        BatchUpdateException error = assertThrows(BatchUpdateException.class, () -> mySQL.writePipelined(failing, true), "A failing pipelined command should throw a BatchUpdateException");
+        System.out.println("Pipelined failure:         " + error.getMessage());
+        assertArrayEquals(new int[]{1}, error.getUpdateCounts(), "Only the command before the failing one should have an update count");
+        assertTrue(error.getMessage().startsWith("Command 2 of 3"), "The message should name the failing command but was " + error.getMessage());
+        actual = mySQL.readData("SELECT COUNT(*) FROM TestTable WHERE TestItem1 IN ('RolledBack', 'NeverRun')");
+        assertEquals("0", actual, "The transaction should have been rolled back");
+
         SQL = "DROP SCHEMA TestNewDB;";
         success = mySQL.writeUpdate(SQL);
         System.out.println("Schema TestNewDB DROPPED:  " + success);
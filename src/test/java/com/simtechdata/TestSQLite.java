@@ -1,12 +1,20 @@
 package com.simtechdata;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.Random;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class TestSQLite {
 
@@ -16,7 +24,7 @@ public class TestSQLite {
      * @throws SQLException Error to be thrown back to the console
      * @throws ClassNotFoundException Error to be thrown back to the console
      */
-    public static void main(String[] args) throws SQLException, IOException, ClassNotFoundException {
+    public static void main(String[] args) throws SQLException, IOException, ClassNotFoundException, InterruptedException {
         Path path = Paths.get(System.getProperty("user.home"), ".SQLEaseTest");
         if(!path.toFile().exists()) {
             Files.createDirectories(path);
@@ -41,6 +49,102 @@ public class TestSQLite {
         System.out.println("Result of reading data from table: " + actual);
         assertEquals(expected, actual, "Result should have been TestItem1 but it was " + actual);
 
+        SQL = """
+                INSERT INTO TestTable2 (Item1, Item2) VALUES('TxItem1','TxItem2');
+                SPLIT
+                INSERT INTO TestTable3 (Item1, Item2) VALUES('TxItem1','TxItem2');
+                """;
+        success = sqLite.execTransaction(SQL);
+        System.out.println("Result of write transaction:       " + success);
+        assertEquals(expectedSuccess, success, "The response should have been true");
+
+        SQLite contended = new SQLite.Builder(path.toAbsolutePath().toString(), filename, getSchema())
+                .setBusyTimeout(1)
+                .setBusyRetries(50)
+                .setBusyBackoff(5, 50)
+                .build();
+        Connection holder = sqLite.getConn();
+        holder.createStatement().executeUpdate("BEGIN IMMEDIATE;");
+        Thread release = releaseLater(holder, 300);
+        success = contended.execUpdate("INSERT INTO TestTable2 (Item1, Item2) VALUES('BusyItem1','BusyItem2');");
+        release.join();
+        System.out.println("Result of contended update:        " + success + " after " + contended.getBusyRetryCount() + " retries, " + contended.getBusyWaitMillis() + " ms waiting");
+        assertEquals(expectedSuccess, success, "The contended update should have succeeded once the lock was released");
+        assertTrue(contended.getBusyRetryCount() > 0, "The contended update should have been retried");
+        assertTrue(contended.getBusyWaitMillis() > 0, "Time spent waiting on the lock should have been counted");
+
+        contended.resetContentionStats();
+        holder.createStatement().executeUpdate("BEGIN IMMEDIATE;");
+        release = releaseLater(holder, 300);
+        success = contended.execTransaction("INSERT INTO TestTable2 (Item1, Item2) VALUES('BusyItem3','BusyItem4');");
+        release.join();
+        System.out.println("Result of contended transaction:   " + success + " after " + contended.getBusyRetryCount() + " retries, " + contended.getLockHoldMillis() + " ms holding the lock");
+        assertEquals(expectedSuccess, success, "The contended transaction should have succeeded once the lock was released");
+        assertTrue(contended.getBusyRetryCount() > 0, "The contended transaction should have been retried");
+        assertTrue(contended.getLockHoldMillis() >= 0, "Lock hold time should never be negative");
+
+        contended.resetContentionStats();
+        holder.createStatement().executeUpdate("BEGIN IMMEDIATE;");
+        release = releaseLater(holder, 300);
+        SQL = """
+                SAVEPOINT Outer;
+                SPLIT
+                /* the savepoint started the transaction, so releasing it ends it */
+                -- and the insert after it runs in autocommit mode again
+                RELEASE SAVEPOINT Outer;
+                SPLIT
+                INSERT INTO TestTable2 (Item1, Item2) VALUES('BusyItem5','BusyItem6');
+                """;
+        success = contended.execUpdate(SQL);
+        release.join();
+        holder.close();
+        System.out.println("Result of update after RELEASE:    " + success + " after " + contended.getBusyRetryCount() + " retries");
+        assertEquals(expectedSuccess, success, "The update after the outermost savepoint was released should have succeeded");
+        assertTrue(contended.getBusyRetryCount() > 0, "Releasing the outermost savepoint should end the transaction, so the update after it should have been retried");
+
+        success = sqLite.createFullTextIndex("TestSearch", "TestTable1", true, "Item1", "Item2");
+        System.out.println("Result of creating text index:     " + success);
+        assertEquals(expectedSuccess, success, "The response should have been true");
+
+        sqLite.execUpdate("INSERT INTO TestTable1 (Item1, Item2) VALUES('quick brown fox','lazy dog');");
+        ResultSet rs = sqLite.searchFullText("TestSearch", "fox", 10, 0);
+        expected = "quick brown fox";
+        actual = rs.next() ? rs.getString("Item1") : "";
+        System.out.println("Result of full text search:        " + actual);
+        assertEquals(expected, actual, "Result should have been quick brown fox but it was " + actual);
+        rs.getStatement().getConnection().close();
+
+        byte[] blob = new byte[1024 * 1024 + 1234];
+        new Random(42).nextBytes(blob);
+        success = sqLite.createBlobTable("TestBlobs");
+        System.out.println("Result of creating blob table:     " + success);
+        assertEquals(expectedSuccess, success, "The response should have been true");
+
+        long written = sqLite.writeBlob("TestBlobs", "TestBlob", new ByteArrayInputStream(blob));
+        System.out.println("Bytes written to blob:             " + written);
+        assertEquals(blob.length, written, "The number of bytes written did not match the size of the blob");
+
+        byte[] read;
+        try (InputStream in = sqLite.openBlob("TestBlobs", "TestBlob")) {
+            read = in.readAllBytes();
+        }
+        System.out.println("Bytes streamed back from blob:     " + read.length);
+        assertArrayEquals(blob, read, "The blob read back did not match the blob that was written");
+
+        try (InputStream in = sqLite.openBlob("TestBlobs", "TestBlob")) {
+            in.readNBytes(1000);
+            success = sqLite.writeUpdate("INSERT INTO TestTable1 (Item1, Item2) VALUES('Written','While streaming');");
+            System.out.println("Result of writing while streaming: " + success);
+            assertEquals(expectedSuccess, success, "An open blob stream should not keep other connections from writing");
+            sqLite.writeBlob("TestBlobs", "TestBlob", new ByteArrayInputStream(new byte[10]));
+            IOException error = assertThrows(IOException.class, in::readAllBytes, "Reading a blob that was replaced part way through should fail");
+            System.out.println("Reading a replaced blob:           " + error.getMessage());
+        }
+
+        success = sqLite.deleteBlob("TestBlobs", "TestBlob");
+        System.out.println("Result of deleting blob:           " + success);
+        assertEquals(expectedSuccess, success, "The response should have been true");
+
         success = sqLite.deleteFile();
         System.out.println("Result of deleting database file:  " + success);
         assertEquals(expectedSuccess, success, "The database file was not deleted");
@@ -48,6 +152,26 @@ public class TestSQLite {
 
 
 
+    /**
+     * Commits the transaction open on conn after a delay, from another thread, so that a second connection is kept waiting on the lock until then
+     * @param conn Connection holding a write transaction
+     * @param delayMillis long
+     * @return the Thread, so it can be joined
+     */
+    private static Thread releaseLater(Connection conn, long delayMillis) {
+        Thread thread = new Thread(() -> {
+            try {
+                Thread.sleep(delayMillis);
+                conn.createStatement().executeUpdate("COMMIT;");
+            }
+            catch (InterruptedException | SQLException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        thread.start();
+        return thread;
+    }
+
     /**
      * This is used to create a table that is used for writing and reading of data to and from the table to make sure everything is working correctly
      * @return String
@@ -0,0 +1,47 @@
+package com.simtechdata.workload;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This counts failed operations by their cause, so a report can say why operations failed and not only how many did.
+ * Failures are grouped by SQLState and vendor error code, which keeps the number of groups small even when messages include row values,
+ * and the message of the first failure in each group is kept as an example. Each worker thread records into its own instance and they are merged at the end.
+ */
+class ErrorCounts {
+
+    private final Map<String, Long> counts = new HashMap<>();
+    private final Map<String, String> examples = new HashMap<>();
+
+    void record(SQLException e) {
+        String cause = (e.getSQLState() == null ? "" : "SQLState " + e.getSQLState() + ", ") + "error " + e.getErrorCode();
+        counts.merge(cause, 1L, Long::sum);
+        examples.putIfAbsent(cause, e.getMessage());
+    }
+
+    void add(ErrorCounts other) {
+        other.counts.forEach((cause, count) -> counts.merge(cause, count, Long::sum));
+        other.examples.forEach(examples::putIfAbsent);
+    }
+
+    /**
+     * Returns the causes, most frequent first
+     * @return List of String
+     */
+    List<String> getCauses() {
+        List<String> causes = new ArrayList<>(counts.keySet());
+        causes.sort((a, b) -> Long.compare(counts.get(b), counts.get(a)));
+        return causes;
+    }
+
+    long getCount(String cause) {
+        return counts.getOrDefault(cause, 0L);
+    }
+
+    String getExample(String cause) {
+        return examples.get(cause);
+    }
+}
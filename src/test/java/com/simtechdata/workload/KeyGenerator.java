@@ -0,0 +1,59 @@
+package com.simtechdata.workload;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * This picks the key for each operation, from 0 up to keyCount - 1, using the distribution set in the Workload.
+ * The zipfian generator is the one described by Gray et al. in "Quickly Generating Billion-Record Synthetic Databases", as used by YCSB, so key 0 is the hottest.
+ * Its closed form only holds for a theta between 0 and 1, so other values are rejected.
+ * One instance can be shared by all threads.
+ */
+class KeyGenerator {
+
+    private final Workload.KeyDistribution distribution;
+    private final long keyCount;
+    private double theta;
+    private double zetan;
+    private double alpha;
+    private double eta;
+
+    KeyGenerator(Workload workload) {
+        this.distribution = workload.getDistribution();
+        this.keyCount = workload.getKeyCount();
+        if (distribution == Workload.KeyDistribution.ZIPFIAN) {
+            theta = workload.getZipfianTheta();
+            if (theta <= 0 || theta >= 1) {
+                throw new IllegalArgumentException("zipfianTheta must be greater than 0 and less than 1");
+            }
+            zetan = zeta(keyCount, theta);
+            double zeta2 = zeta(2, theta);
+            alpha = 1.0 / (1.0 - theta);
+            eta = (1 - Math.pow(2.0 / keyCount, 1 - theta)) / (1 - zeta2 / zetan);
+        }
+    }
+
+    private static double zeta(long n, double theta) {
+        double sum = 0;
+        for (long i = 1; i <= n; i++) {
+            sum += 1 / Math.pow(i, theta);
+        }
+        return sum;
+    }
+
+    long next() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (distribution == Workload.KeyDistribution.UNIFORM) {
+            return random.nextLong(keyCount);
+        }
+        double u = random.nextDouble();
+        double uz = u * zetan;
+        if (uz < 1.0) {
+            return 0;
+        }
+        if (uz < 1.0 + Math.pow(0.5, theta)) {
+            return Math.min(1, keyCount - 1);
+        }
+        long key = (long) (keyCount * Math.pow(eta * u - eta + 1, alpha));
+        return Math.min(key, keyCount - 1);
+    }
+}
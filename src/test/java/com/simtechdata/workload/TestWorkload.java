@@ -0,0 +1,122 @@
+package com.simtechdata.workload;
+
+import com.simtechdata.SQLite;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestWorkload {
+
+    /**
+     * Main method for this test class
+     * @param args from command line - not used
+     * @throws Exception Error to be thrown back to the console
+     */
+    public static void main(String[] args) throws Exception {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long i = 1; i <= 1_000_000; i++) {
+            histogram.record(i * 1000);
+        }
+        checkWithin("Histogram p50", 500_000_000, histogram.getValueAtPercentile(50), 0.016);
+        checkWithin("Histogram p99", 990_000_000, histogram.getValueAtPercentile(99), 0.016);
+        checkWithin("Histogram p999", 999_000_000, histogram.getValueAtPercentile(99.9), 0.016);
+        assertEquals(1_000_000_000L, histogram.getValueAtPercentile(100), "The max should be exact");
+
+        LatencyHistogram small = new LatencyHistogram();
+        for (long i = 0; i < 100; i++) {
+            small.record(i);
+        }
+        assertEquals(49L, small.getValueAtPercentile(50), "Values below 128 should be exact");
+        small.add(histogram);
+        assertEquals(1_000_100L, small.getTotalCount(), "Merging histograms should add their counts");
+        System.out.println("Histogram percentiles:             within 1.6%");
+
+        Workload uniform = new Workload.Builder().setKeyCount(100).build();
+        long[] counts = sample(new KeyGenerator(uniform), 100, 1_000_000);
+        for (long count : counts) {
+            checkWithin("Uniform key count", 10_000, count, 0.1);
+        }
+        System.out.println("Uniform keys:                      each within 10% of even");
+
+        Workload zipfian = new Workload.Builder().setDistribution(Workload.KeyDistribution.ZIPFIAN).setKeyCount(1000).build();
+        counts = sample(new KeyGenerator(zipfian), 1000, 1_000_000);
+        double zetan = 0;
+        for (int i = 1; i <= 1000; i++) {
+            zetan += 1 / Math.pow(i, 0.99);
+        }
+        checkWithin("Zipfian share of key 0", 1_000_000 / zetan, counts[0], 0.05);
+        checkWithin("Zipfian share of key 1", 1_000_000 / zetan / Math.pow(2, 0.99), counts[1], 0.05);
+        assertTrue(counts[1] > counts[10] && counts[10] > counts[999], "Zipfian keys should get colder as the key gets larger");
+        System.out.println("Zipfian keys:                      key 0 " + counts[0] + ", key 1 " + counts[1] + ", key 999 " + counts[999]);
+
+        assertThrows(IllegalArgumentException.class,
+                     () -> new Workload.Builder().setDistribution(Workload.KeyDistribution.ZIPFIAN).setZipfianTheta(1.2).build(),
+                     "A zipfian theta of 1 or more should be rejected");
+
+        Workload run = new Workload.Builder()
+                .setThreads(2)
+                .setReadRatio(0.5)
+                .setKeyCount(1000)
+                .setTargetRate(200)
+                .setWarmupSeconds(0)
+                .setDurationSeconds(2)
+                .build();
+        WorkloadReport report = WorkloadDriver.runSQLite(run, true);
+        System.out.println(report.toText());
+        assertEquals(0L, report.getErrors(), "A light SQLite workload should not have any errors");
+        assertTrue(report.getElapsedSeconds() >= 2, "Elapsed time should cover the whole measured window");
+        assertTrue(report.getThroughput() <= 200 * 1.05, "Achieved throughput cannot be more than the target rate");
+        assertTrue(report.toJson().contains("\"achievedThroughput\""), "The JSON report should include the achieved throughput");
+        assertTrue(report.toJson().contains("\"errorCauses\":[]"), "The JSON report should list error causes, and there should be none");
+
+        Path folder = Files.createTempDirectory("SQLEaseWorkload");
+        SQLite locked = new SQLite.Builder(folder.toString(), "locked.sqlite", "CREATE TABLE Workload (id INTEGER NOT NULL PRIMARY KEY, payload TEXT NOT NULL);")
+                .setBusyTimeout(3000)
+                .build();
+        Connection holder = locked.getConn();
+        AtomicInteger connections = new AtomicInteger();
+        Workload stalled = new Workload.Builder()
+                .setThreads(1)
+                .setReadRatio(0)
+                .setKeyCount(100)
+                .setTargetRate(50)
+                .setWarmupSeconds(0)
+                .setDurationSeconds(1)
+                .setDrainSeconds(1)
+                .build();
+        report = WorkloadDriver.run("SQLite with the write lock held", stalled, () -> {
+            if (connections.getAndIncrement() == 1) {
+                holder.createStatement().executeUpdate("BEGIN IMMEDIATE;");
+            }
+            return locked.getConn();
+        }, "Workload");
+        holder.createStatement().executeUpdate("ROLLBACK;");
+        holder.close();
+        locked.deleteFile();
+        Files.deleteIfExists(folder);
+        System.out.println(report.toText());
+        assertTrue(report.getUnfinished() > 0, "Operations still waiting at the drain deadline should be counted as unfinished");
+        assertEquals(50L, report.getErrors() + report.getUnfinished(), "Every operation scheduled in the window should be either an error or unfinished");
+        assertTrue(report.getElapsedSeconds() < 5, "The run should stop draining at the deadline instead of waiting out every busy timeout, but took " + report.getElapsedSeconds());
+        assertTrue(report.getLatencyMicros(0) >= 1_000_000 * 0.98, "Unfinished operations should be charged from their scheduled start to the deadline");
+        assertTrue(report.toText().contains("SQLITE_BUSY"), "The report should show why the operations failed");
+    }
+
+    private static long[] sample(KeyGenerator keys, int keyCount, int samples) {
+        long[] counts = new long[keyCount];
+        for (int i = 0; i < samples; i++) {
+            counts[(int) keys.next()]++;
+        }
+        return counts;
+    }
+
+    private static void checkWithin(String name, double expected, double actual, double tolerance) {
+        assertTrue(Math.abs(actual - expected) <= expected * tolerance, name + " should have been within " + (tolerance * 100) + "% of " + expected + " but was " + actual);
+    }
+}
@@ -0,0 +1,272 @@
+package com.simtechdata.workload;
+
+/**
+ * This describes a workload for the WorkloadDriver to run: how many threads, how fast, the mix of reads and writes, how keys are picked and how big each row is.
+ */
+public class Workload {
+
+    /**
+     * How keys are chosen for each operation
+     */
+    public enum KeyDistribution {
+        UNIFORM,
+        ZIPFIAN
+    }
+
+    private final int threads;
+    private final double readRatio;
+    private final KeyDistribution distribution;
+    private final double zipfianTheta;
+    private final long keyCount;
+    private final int rowSize;
+    private final long targetRate;
+    private final int warmupSeconds;
+    private final int durationSeconds;
+    private final int drainSeconds;
+
+    /**
+     * Builder class
+     */
+    public static class Builder {
+        private int threads = 4;
+        private double readRatio = 0.9;
+        private KeyDistribution distribution = KeyDistribution.UNIFORM;
+        private double zipfianTheta = 0.99;
+        private long keyCount = 10_000;
+        private int rowSize = 256;
+        private long targetRate = 0;
+        private int warmupSeconds = 5;
+        private int durationSeconds = 30;
+        private int drainSeconds = 10;
+
+        /**
+         * Sets the number of threads, each with its own Connection
+         * @param threads int
+         * @return Builder
+         */
+        public Builder setThreads(int threads) {
+            this.threads = threads;
+            return this;
+        }
+
+        /**
+         * Sets the fraction of operations that are reads, from 0.0 (all writes) to 1.0 (all reads)
+         * @param readRatio double
+         * @return Builder
+         */
+        public Builder setReadRatio(double readRatio) {
+            this.readRatio = readRatio;
+            return this;
+        }
+
+        /**
+         * Sets how keys are chosen. ZIPFIAN sends most operations to a small set of hot keys, the way real traffic often does.
+         * @param distribution KeyDistribution
+         * @return Builder
+         */
+        public Builder setDistribution(KeyDistribution distribution) {
+            this.distribution = distribution;
+            return this;
+        }
+
+        /**
+         * Sets how skewed the ZIPFIAN distribution is. It must be greater than 0 and less than 1, and values closer to 1 are more skewed.
+         * The default of 0.99 is the usual choice.
+         * @param zipfianTheta double
+         * @return Builder
+         */
+        public Builder setZipfianTheta(double zipfianTheta) {
+            this.zipfianTheta = zipfianTheta;
+            return this;
+        }
+
+        /**
+         * Sets how many rows are loaded before the run and chosen from during the run
+         * @param keyCount long
+         * @return Builder
+         */
+        public Builder setKeyCount(long keyCount) {
+            this.keyCount = keyCount;
+            return this;
+        }
+
+        /**
+         * Sets the size, in characters, of the payload written into each row
+         * @param rowSize int
+         * @return Builder
+         */
+        public Builder setRowSize(int rowSize) {
+            this.rowSize = rowSize;
+            return this;
+        }
+
+        /**
+         * Sets the total operations per second across all threads. Use 0 to run as fast as possible.
+         * When a rate is set, latency is measured from when each operation was scheduled to start, so a stall also counts against the operations queued up behind it.
+         * @param targetRate long
+         * @return Builder
+         */
+        public Builder setTargetRate(long targetRate) {
+            this.targetRate = targetRate;
+            return this;
+        }
+
+        /**
+         * Sets how long to run before measurements start
+         * @param warmupSeconds int
+         * @return Builder
+         */
+        public Builder setWarmupSeconds(int warmupSeconds) {
+            this.warmupSeconds = warmupSeconds;
+            return this;
+        }
+
+        /**
+         * Sets how long to measure for
+         * @param durationSeconds int
+         * @return Builder
+         */
+        public Builder setDurationSeconds(int durationSeconds) {
+            this.durationSeconds = durationSeconds;
+            return this;
+        }
+
+        /**
+         * Sets how long, after the measured period ends, the workers may keep going to finish the operations that were scheduled inside it.
+         * When a target rate is set and the database falls behind, any operation that has not started by then is counted as unfinished,
+         * with a latency of the time from its scheduled start to the deadline.
+         * @param drainSeconds int
+         * @return Builder
+         */
+        public Builder setDrainSeconds(int drainSeconds) {
+            this.drainSeconds = drainSeconds;
+            return this;
+        }
+
+        /**
+         * This must end your builder sentence as it returns the Workload instance.
+         * @return Workload
+         */
+        public Workload build() {
+            return new Workload(this);
+        }
+    }
+
+    /**
+     * Private constructor used by the Builder class
+     * @param b Builder
+     */
+    private Workload(Builder b) {
+        this.threads = b.threads;
+        this.readRatio = b.readRatio;
+        this.distribution = b.distribution;
+        this.zipfianTheta = b.zipfianTheta;
+        this.keyCount = b.keyCount;
+        this.rowSize = b.rowSize;
+        this.targetRate = b.targetRate;
+        this.warmupSeconds = b.warmupSeconds;
+        this.durationSeconds = b.durationSeconds;
+        this.drainSeconds = b.drainSeconds;
+        String NL = System.getProperty("line.separator");
+        StringBuilder sb = new StringBuilder();
+        if (threads < 1)
+            sb.append("\t- threads must be at least 1").append(NL);
+        if (readRatio < 0 || readRatio > 1)
+            sb.append("\t- readRatio must be between 0 and 1").append(NL);
+        if (keyCount < 1)
+            sb.append("\t- keyCount must be at least 1").append(NL);
+        if (rowSize < 1)
+            sb.append("\t- rowSize must be at least 1").append(NL);
+        if (targetRate < 0)
+            sb.append("\t- targetRate cannot be negative").append(NL);
+        if (distribution == KeyDistribution.ZIPFIAN && (zipfianTheta <= 0 || zipfianTheta >= 1))
+            sb.append("\t- zipfianTheta must be greater than 0 and less than 1").append(NL);
+        if (durationSeconds < 1)
+            sb.append("\t- durationSeconds must be at least 1").append(NL);
+        if (drainSeconds < 0)
+            sb.append("\t- drainSeconds cannot be negative").append(NL);
+        if (!sb.toString().isEmpty()) {
+            throw new IllegalArgumentException(sb.toString());
+        }
+    }
+
+    /**
+     * Returns the number of worker threads
+     * @return int
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Returns the fraction of operations that are reads
+     * @return double
+     */
+    public double getReadRatio() {
+        return readRatio;
+    }
+
+    /**
+     * Returns how keys are chosen
+     * @return KeyDistribution
+     */
+    public KeyDistribution getDistribution() {
+        return distribution;
+    }
+
+    /**
+     * Returns the skew used by the ZIPFIAN distribution
+     * @return double
+     */
+    public double getZipfianTheta() {
+        return zipfianTheta;
+    }
+
+    /**
+     * Returns the number of rows loaded before the run
+     * @return long
+     */
+    public long getKeyCount() {
+        return keyCount;
+    }
+
+    /**
+     * Returns the size, in characters, of each row payload
+     * @return int
+     */
+    public int getRowSize() {
+        return rowSize;
+    }
+
+    /**
+     * Returns the total operations per second to aim for, or 0 for as fast as possible
+     * @return long
+     */
+    public long getTargetRate() {
+        return targetRate;
+    }
+
+    /**
+     * Returns how long to run before measurements start
+     * @return int
+     */
+    public int getWarmupSeconds() {
+        return warmupSeconds;
+    }
+
+    /**
+     * Returns how long the measured period is
+     * @return int
+     */
+    public int getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    /**
+     * Returns how long after the measured period the workers may keep going to finish the operations scheduled inside it
+     * @return int
+     */
+    public int getDrainSeconds() {
+        return drainSeconds;
+    }
+}
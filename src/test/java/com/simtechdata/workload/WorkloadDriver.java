@@ -0,0 +1,351 @@
+package com.simtechdata.workload;
+
+import com.simtechdata.MySQL;
+import com.simtechdata.SQLite;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * This runs a Workload against a temporary SQLite file or a MySQL server and reports throughput and latency percentiles.
+ * Each thread holds its own Connection and runs single row reads (SELECT by primary key) and writes (UPDATE by primary key) on a table that the driver creates for the run
+ * and drops afterwards. For MySQL it gets a unique name, so it can never touch a table of yours in the same schema.
+ * <p>
+ * Run it from the command line with key=value arguments, for example:
+ * <pre>
+ * db=sqlite threads=8 readRatio=0.9 distribution=zipfian keys=100000 rowSize=256 rate=2000 warmup=5 duration=30 drain=10 json=report.json
+ * db=mysql host=localhost port=3306 user=michael passwordEnv=SQL_PASS schema=SQLEaseWorkload threads=16
+ * </pre>
+ * For SQLite you can also pass wal=true to run in WAL journal mode.
+ */
+public class WorkloadDriver {
+
+    /**
+     * Supplies a Connection to each worker thread. SQLite::getConn and MySQL::getConn both fit.
+     */
+    public interface ConnectionSource {
+        /**
+         * Returns a new Connection, which the driver will close when it is done with it
+         * @return Connection
+         * @throws Exception Error to be thrown back to the caller
+         */
+        Connection get() throws Exception;
+    }
+
+    /**
+     * Main method for the workload driver
+     * @param args key=value pairs as shown in the class description
+     * @throws Exception Error to be thrown back to the console
+     */
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq < 1) {
+                throw new IllegalArgumentException("Arguments must be key=value but got: " + arg);
+            }
+            options.put(arg.substring(0, eq), arg.substring(eq + 1));
+        }
+        Workload workload = new Workload.Builder()
+                .setThreads(Integer.parseInt(options.getOrDefault("threads", "4")))
+                .setReadRatio(Double.parseDouble(options.getOrDefault("readRatio", "0.9")))
+                .setDistribution(Workload.KeyDistribution.valueOf(options.getOrDefault("distribution", "uniform").toUpperCase()))
+                .setZipfianTheta(Double.parseDouble(options.getOrDefault("theta", "0.99")))
+                .setKeyCount(Long.parseLong(options.getOrDefault("keys", "10000")))
+                .setRowSize(Integer.parseInt(options.getOrDefault("rowSize", "256")))
+                .setTargetRate(Long.parseLong(options.getOrDefault("rate", "0")))
+                .setWarmupSeconds(Integer.parseInt(options.getOrDefault("warmup", "5")))
+                .setDurationSeconds(Integer.parseInt(options.getOrDefault("duration", "30")))
+                .setDrainSeconds(Integer.parseInt(options.getOrDefault("drain", "10")))
+                .build();
+
+        String db = options.getOrDefault("db", "sqlite");
+        WorkloadReport report;
+        if (db.equalsIgnoreCase("sqlite")) {
+            report = runSQLite(workload, Boolean.parseBoolean(options.getOrDefault("wal", "false")));
+        }
+        else if (db.equalsIgnoreCase("mysql")) {
+            MySQL.Builder builder = new MySQL.Builder()
+                    .setHost(options.getOrDefault("host", "localhost"))
+                    .setPort(options.getOrDefault("port", "3306"))
+                    .setUsername(options.get("user"));
+            if (options.containsKey("passwordEnv"))
+                builder.setPasswordEnv(options.get("passwordEnv"));
+            else
+                builder.setPassword(options.get("password"));
+            report = runMySQL(workload, builder.build(), options.getOrDefault("schema", "SQLEaseWorkload"));
+        }
+        else {
+            throw new IllegalArgumentException("db must be sqlite or mysql but got: " + db);
+        }
+
+        System.out.println(report.toText());
+        System.out.println(report.toJson());
+        if (options.containsKey("json")) {
+            Files.writeString(Paths.get(options.get("json")), report.toJson());
+        }
+    }
+
+    /**
+     * Runs the workload against a new SQLite file in a temporary folder, which is deleted afterwards.
+     * @param workload Workload
+     * @param wal boolean - true to switch the file to WAL journal mode
+     * @return WorkloadReport
+     * @throws Exception Error to be thrown back to the caller
+     */
+    public static WorkloadReport runSQLite(Workload workload, boolean wal) throws Exception {
+        Path folder = Files.createTempDirectory("SQLEaseWorkload");
+        SQLite sqLite = new SQLite.Builder(folder.toString(), "workload.sqlite", "CREATE TABLE Workload (id INTEGER NOT NULL PRIMARY KEY, payload TEXT NOT NULL);")
+                .setBusyTimeout(5000)
+                .build();
+        try {
+            if (wal) {
+                sqLite.execUpdate("PRAGMA journal_mode = WAL;");
+            }
+            String target = "SQLite " + sqLite.getFilePath() + (wal ? " (WAL)" : "");
+            return run(target, workload, sqLite::getConn, "Workload");
+        }
+        finally {
+            sqLite.deleteFile();
+            Files.deleteIfExists(Paths.get(folder.toString(), "workload.sqlite-wal"));
+            Files.deleteIfExists(Paths.get(folder.toString(), "workload.sqlite-shm"));
+            Files.deleteIfExists(folder);
+        }
+    }
+
+    /**
+     * Runs the workload against a new table in the given schema on a MySQL server. The table is named SQLEaseWorkload_ followed by a random number,
+     * and it is created without IF NOT EXISTS, so the run fails rather than reuse an existing table. Only that table is dropped afterwards.
+     * @param workload Workload
+     * @param mySQL MySQL
+     * @param schema String - created if it does not exist
+     * @return WorkloadReport
+     * @throws Exception Error to be thrown back to the caller
+     */
+    public static WorkloadReport runMySQL(Workload workload, MySQL mySQL, String schema) throws Exception {
+        String table = "SQLEaseWorkload_" + Long.toHexString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE);
+        mySQL.createSchema(schema);
+        mySQL.writeUpdate("CREATE TABLE " + table + " (id BIGINT NOT NULL PRIMARY KEY, payload MEDIUMTEXT NOT NULL) ENGINE = InnoDB;");
+        try {
+            return run("MySQL schema " + schema + ", table " + table, workload, mySQL::getConn, table);
+        }
+        finally {
+            mySQL.writeUpdate("DROP TABLE " + table + ";");
+        }
+    }
+
+    /**
+     * Loads the table, then runs the worker threads through the warmup and measured periods.
+     * The table must already exist, be empty, and have an id primary key column and a payload text column.
+     * @param target String - a description of the database for the report
+     * @param workload Workload
+     * @param source ConnectionSource
+     * @param table String - the table to run against
+     * @return WorkloadReport
+     * @throws Exception Error to be thrown back to the caller
+     */
+    public static WorkloadReport run(String target, Workload workload, ConnectionSource source, String table) throws Exception {
+        load(workload, source, table);
+        KeyGenerator keys = new KeyGenerator(workload);
+        int threads = workload.getThreads();
+        List<Connection> connections = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            connections.add(source.get());
+        }
+        long intervalNanos = workload.getTargetRate() > 0 ? (long) (threads * 1_000_000_000.0 / workload.getTargetRate()) : 0;
+        long startNanos = System.nanoTime() + 100_000_000L;
+        long measureStart = startNanos + workload.getWarmupSeconds() * 1_000_000_000L;
+        long measureEnd = measureStart + workload.getDurationSeconds() * 1_000_000_000L;
+        long deadline = measureEnd + workload.getDrainSeconds() * 1_000_000_000L;
+
+        List<Worker> workers = new ArrayList<>();
+        List<Thread> running = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            long firstStart = startNanos + (intervalNanos * i) / threads;
+            Worker worker = new Worker(workload, keys, connections.get(i), table, intervalNanos, firstStart, measureStart, measureEnd, deadline);
+            Thread thread = new Thread(worker, "workload-" + i);
+            workers.add(worker);
+            running.add(thread);
+        }
+        running.forEach(Thread::start);
+        for (Thread thread : running) {
+            thread.join();
+        }
+
+        LatencyHistogram reads = new LatencyHistogram();
+        LatencyHistogram writes = new LatencyHistogram();
+        LatencyHistogram errors = new LatencyHistogram();
+        LatencyHistogram unfinished = new LatencyHistogram();
+        ErrorCounts errorCauses = new ErrorCounts();
+        long lastCompletion = measureEnd;
+        for (Worker worker : workers) {
+            if (worker.failure != null) {
+                throw new IllegalStateException("Worker thread failed", worker.failure);
+            }
+            reads.add(worker.reads);
+            writes.add(worker.writes);
+            errors.add(worker.errors);
+            unfinished.add(worker.unfinished);
+            errorCauses.add(worker.errorCauses);
+            lastCompletion = Math.max(lastCompletion, worker.lastCompletion);
+        }
+        double elapsedSeconds = (lastCompletion - measureStart) / 1_000_000_000.0;
+        return new WorkloadReport(target, workload, elapsedSeconds, reads, writes, errors, unfinished, errorCauses);
+    }
+
+    /**
+     * Inserts keyCount rows in batches inside one transaction
+     */
+    private static void load(Workload workload, ConnectionSource source, String table) throws Exception {
+        String payload = randomPayload(workload.getRowSize());
+        try (Connection conn = source.get();
+             PreparedStatement stmt = conn.prepareStatement("INSERT INTO " + table + " (id, payload) VALUES (?, ?)")) {
+            conn.setAutoCommit(false);
+            for (long id = 0; id < workload.getKeyCount(); id++) {
+                stmt.setLong(1, id);
+                stmt.setString(2, payload);
+                stmt.addBatch();
+                if (id % 1000 == 999) {
+                    stmt.executeBatch();
+                }
+            }
+            stmt.executeBatch();
+            conn.commit();
+        }
+    }
+
+    private static String randomPayload(int size) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        StringBuilder sb = new StringBuilder(size);
+        for (int i = 0; i < size; i++) {
+            sb.append((char) ('a' + random.nextInt(26)));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * One worker thread. When a target rate is set, each operation has a scheduled start time and its latency is measured from that time rather than from
+     * when it actually started. If the database stalls, the operations that should have run during the stall are then charged for the wait, which is the
+     * coordinated omission correction. Only operations scheduled inside the measured period are recorded. Failed operations are recorded in their own
+     * histogram, so that slow failures such as busy timeouts still show up in the tail, and their causes are counted. The worker keeps going until every operation scheduled inside
+     * the measured period has finished, or until the drain deadline. Operations that have not started by the deadline are recorded as unfinished with a latency of
+     * deadline minus scheduled start, which is the least they would have taken, so the correction still holds. lastCompletion marks when the worker stopped.
+     */
+    private static class Worker implements Runnable {
+        private final Workload workload;
+        private final KeyGenerator keys;
+        private final Connection conn;
+        private final String table;
+        private final long intervalNanos;
+        private final long firstStart;
+        private final long measureStart;
+        private final long measureEnd;
+        private final long deadline;
+        private final LatencyHistogram reads = new LatencyHistogram();
+        private final LatencyHistogram writes = new LatencyHistogram();
+        private final LatencyHistogram errors = new LatencyHistogram();
+        private final LatencyHistogram unfinished = new LatencyHistogram();
+        private final ErrorCounts errorCauses = new ErrorCounts();
+        private long lastCompletion = 0;
+        private Exception failure;
+
+        Worker(Workload workload, KeyGenerator keys, Connection conn, String table, long intervalNanos, long firstStart, long measureStart, long measureEnd, long deadline) {
+            this.workload = workload;
+            this.keys = keys;
+            this.conn = conn;
+            this.table = table;
+            this.intervalNanos = intervalNanos;
+            this.firstStart = firstStart;
+            this.measureStart = measureStart;
+            this.measureEnd = measureEnd;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public void run() {
+            String payload = randomPayload(workload.getRowSize());
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            try (conn;
+                 PreparedStatement read = conn.prepareStatement("SELECT payload FROM " + table + " WHERE id = ?");
+                 PreparedStatement write = conn.prepareStatement("UPDATE " + table + " SET payload = ? WHERE id = ?")) {
+                write.setString(1, payload);
+                long next = firstStart;
+                waitUntil(next);
+                while (true) {
+                    long scheduled;
+                    if (intervalNanos > 0) {
+                        scheduled = next;
+                        next += intervalNanos;
+                        waitUntil(scheduled);
+                    }
+                    else {
+                        scheduled = System.nanoTime();
+                    }
+                    if (scheduled >= measureEnd) {
+                        break;
+                    }
+                    if (intervalNanos > 0 && System.nanoTime() >= deadline) {
+                        for (long late = scheduled; late < measureEnd; late += intervalNanos) {
+                            if (late >= measureStart) {
+                                unfinished.record(deadline - late);
+                            }
+                        }
+                        lastCompletion = Math.max(lastCompletion, deadline);
+                        break;
+                    }
+                    boolean isRead = random.nextDouble() < workload.getReadRatio();
+                    long key = keys.next();
+                    LatencyHistogram histogram = isRead ? reads : writes;
+                    SQLException error = null;
+                    try {
+                        if (isRead) {
+                            read.setLong(1, key);
+                            try (ResultSet rs = read.executeQuery()) {
+                                if (rs.next()) {
+                                    rs.getString(1);
+                                }
+                            }
+                        }
+                        else {
+                            write.setLong(2, key);
+                            write.executeUpdate();
+                        }
+                    }
+                    catch (SQLException e) {
+                        histogram = errors;
+                        error = e;
+                    }
+                    long completed = System.nanoTime();
+                    if (scheduled >= measureStart) {
+                        histogram.record(completed - scheduled);
+                        if (error != null) {
+                            errorCauses.record(error);
+                        }
+                        lastCompletion = completed;
+                    }
+                }
+            }
+            catch (Exception e) {
+                failure = e;
+            }
+        }
+
+        private static void waitUntil(long nanoTime) {
+            long remaining;
+            while ((remaining = nanoTime - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(remaining);
+            }
+        }
+    }
+}
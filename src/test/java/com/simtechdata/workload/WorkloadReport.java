@@ -0,0 +1,224 @@
+package com.simtechdata.workload;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * This holds the results of one WorkloadDriver run and formats them as text for the console or as JSON for saving and comparing between runs.
+ * All latencies are reported in microseconds. Failed operations are kept in their own errors row and are also part of the all row,
+ * so slow failures still count toward the tail latencies, and they are also listed by cause with an example message. Operations that had not started
+ * by the drain deadline are kept in an unfinished row, charged from their scheduled start to the deadline, and are part of the all row too.
+ */
+public class WorkloadReport {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9, 100};
+    private static final String[] PERCENTILE_NAMES = {"p50", "p90", "p99", "p999", "max"};
+
+    private final String target;
+    private final Workload workload;
+    private final double elapsedSeconds;
+    private final LatencyHistogram reads;
+    private final LatencyHistogram writes;
+    private final LatencyHistogram errors;
+    private final LatencyHistogram unfinished;
+    private final ErrorCounts errorCauses;
+    private final LatencyHistogram all;
+
+    /**
+     * @param target String - a description of the database
+     * @param workload Workload
+     * @param elapsedSeconds double - from the start of the measured period until the later of its end or the last measured operation finishing, or the drain deadline
+     * @param reads LatencyHistogram - successful reads
+     * @param writes LatencyHistogram - successful writes
+     * @param errors LatencyHistogram - failed operations of either kind
+     * @param unfinished LatencyHistogram - operations that had not started by the drain deadline
+     * @param errorCauses ErrorCounts - the failed operations, counted by cause
+     */
+    WorkloadReport(String target, Workload workload, double elapsedSeconds, LatencyHistogram reads, LatencyHistogram writes, LatencyHistogram errors,
+                   LatencyHistogram unfinished, ErrorCounts errorCauses) {
+        this.target = target;
+        this.workload = workload;
+        this.elapsedSeconds = elapsedSeconds;
+        this.reads = reads;
+        this.writes = writes;
+        this.errors = errors;
+        this.unfinished = unfinished;
+        this.errorCauses = errorCauses;
+        this.all = new LatencyHistogram();
+        this.all.add(reads);
+        this.all.add(writes);
+        this.all.add(errors);
+        this.all.add(unfinished);
+    }
+
+    /**
+     * Returns the successful operations per second that were actually achieved. This is measured over the time it really took to finish every operation
+     * scheduled in the measured period, up to the drain deadline, so when the database cannot keep up with the target rate, this comes out lower than the target.
+     * @return double
+     */
+    public double getThroughput() {
+        return (reads.getTotalCount() + writes.getTotalCount()) / elapsedSeconds;
+    }
+
+    /**
+     * Returns the time, in seconds, from the start of the measured period until the later of its end or the last measured operation finishing.
+     * It is cut off at the drain deadline when operations were left unfinished.
+     * @return double
+     */
+    public double getElapsedSeconds() {
+        return elapsedSeconds;
+    }
+
+    /**
+     * Returns the latency, in microseconds, at the given percentile across reads, writes and failed operations
+     * @param percentile double - for example 99.9
+     * @return double
+     */
+    public double getLatencyMicros(double percentile) {
+        return all.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    /**
+     * Returns the number of operations that failed with an exception
+     * @return long
+     */
+    public long getErrors() {
+        return errors.getTotalCount();
+    }
+
+    /**
+     * Returns the number of operations scheduled in the measured period that had not started by the drain deadline
+     * @return long
+     */
+    public long getUnfinished() {
+        return unfinished.getTotalCount();
+    }
+
+    private boolean isCorrected() {
+        return workload.getTargetRate() > 0;
+    }
+
+    /**
+     * Returns the report as a table for reading on the console
+     * @return String
+     */
+    public String toText() {
+        String NL = System.getProperty("line.separator");
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.ROOT, "Target:        %s%n", target));
+        sb.append(String.format(Locale.ROOT, "Workload:      %d threads, %.0f%% reads, %s keys over %d rows, %d byte rows%n",
+                workload.getThreads(), workload.getReadRatio() * 100, workload.getDistribution(), workload.getKeyCount(), workload.getRowSize()));
+        sb.append(String.format(Locale.ROOT, "Measured:      %.1f s to finish the ops scheduled in a %d s window, %d ops, %d errors, %d unfinished at the %d s drain deadline%n",
+                elapsedSeconds, workload.getDurationSeconds(), all.getTotalCount(), getErrors(), getUnfinished(), workload.getDrainSeconds()));
+        sb.append(String.format(Locale.ROOT, "Target rate:   %s%n", isCorrected() ? workload.getTargetRate() + " ops/s" : "unlimited"));
+        sb.append(String.format(Locale.ROOT, "Achieved:      %.1f ops/s%n", getThroughput()));
+        sb.append(isCorrected()
+                  ? "Latency (us), measured from scheduled start (coordinated omission corrected):" + NL
+                  : "Latency (us), measured from actual start (no target rate, so no coordinated omission correction):" + NL);
+        sb.append(String.format(Locale.ROOT, "  %-10s %10s %10s", "", "count", "mean"));
+        for (String name : PERCENTILE_NAMES) {
+            sb.append(String.format(Locale.ROOT, " %10s", name));
+        }
+        sb.append(NL);
+        appendTextRow(sb, "reads", reads, NL);
+        appendTextRow(sb, "writes", writes, NL);
+        appendTextRow(sb, "errors", errors, NL);
+        appendTextRow(sb, "unfinished", unfinished, NL);
+        appendTextRow(sb, "all", all, NL);
+        if (getErrors() > 0) {
+            sb.append("Errors by cause:").append(NL);
+            for (String cause : errorCauses.getCauses()) {
+                sb.append(String.format(Locale.ROOT, "  %10d  %s: %s%n", errorCauses.getCount(cause), cause, String.valueOf(errorCauses.getExample(cause)).replaceAll("\\s+", " ")));
+            }
+        }
+        return sb.toString();
+    }
+
+    private static void appendTextRow(StringBuilder sb, String name, LatencyHistogram histogram, String NL) {
+        sb.append(String.format(Locale.ROOT, "  %-10s %10d %10.1f", name, histogram.getTotalCount(), histogram.getMean() / 1000.0));
+        for (double percentile : PERCENTILES) {
+            sb.append(String.format(Locale.ROOT, " %10.1f", histogram.getValueAtPercentile(percentile) / 1000.0));
+        }
+        sb.append(NL);
+    }
+
+    /**
+     * Returns the report as a single line of JSON, for saving to a file and comparing between runs
+     * @return String
+     */
+    public String toJson() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{");
+        sb.append("\"target\":").append(jsonString(target)).append(",");
+        sb.append("\"workload\":{");
+        sb.append("\"threads\":").append(workload.getThreads()).append(",");
+        sb.append("\"readRatio\":").append(workload.getReadRatio()).append(",");
+        sb.append("\"distribution\":\"").append(workload.getDistribution()).append("\",");
+        sb.append("\"keyCount\":").append(workload.getKeyCount()).append(",");
+        sb.append("\"rowSize\":").append(workload.getRowSize()).append(",");
+        sb.append("\"targetRate\":").append(workload.getTargetRate()).append(",");
+        sb.append("\"durationSeconds\":").append(workload.getDurationSeconds()).append(",");
+        sb.append("\"drainSeconds\":").append(workload.getDrainSeconds());
+        sb.append("},");
+        sb.append("\"elapsedSeconds\":").append(String.format(Locale.ROOT, "%.3f", elapsedSeconds)).append(",");
+        sb.append("\"operations\":").append(all.getTotalCount()).append(",");
+        sb.append("\"errors\":").append(getErrors()).append(",");
+        sb.append("\"unfinished\":").append(getUnfinished()).append(",");
+        sb.append("\"targetRate\":").append(workload.getTargetRate()).append(",");
+        sb.append("\"achievedThroughput\":").append(String.format(Locale.ROOT, "%.1f", getThroughput())).append(",");
+        sb.append("\"coordinatedOmissionCorrected\":").append(isCorrected()).append(",");
+        sb.append("\"latencyMicros\":{");
+        appendJsonHistogram(sb, "reads", reads);
+        sb.append(",");
+        appendJsonHistogram(sb, "writes", writes);
+        sb.append(",");
+        appendJsonHistogram(sb, "errors", errors);
+        sb.append(",");
+        appendJsonHistogram(sb, "unfinished", unfinished);
+        sb.append(",");
+        appendJsonHistogram(sb, "all", all);
+        sb.append("},");
+        sb.append("\"errorCauses\":[");
+        List<String> causes = errorCauses.getCauses();
+        for (int i = 0; i < causes.size(); i++) {
+            String cause = causes.get(i);
+            sb.append(i == 0 ? "{" : ",{");
+            sb.append("\"cause\":").append(jsonString(cause)).append(",");
+            sb.append("\"count\":").append(errorCauses.getCount(cause)).append(",");
+            sb.append("\"example\":").append(jsonString(errorCauses.getExample(cause)));
+            sb.append("}");
+        }
+        sb.append("]}");
+        return sb.toString();
+    }
+
+    private static String jsonString(String value) {
+        if (value == null) {
+            return "null";
+        }
+        StringBuilder sb = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                sb.append('\\').append(c);
+            }
+            else if (c < 0x20) {
+                sb.append(String.format(Locale.ROOT, "\\u%04x", (int) c));
+            }
+            else {
+                sb.append(c);
+            }
+        }
+        return sb.append('"').toString();
+    }
+
+    private static void appendJsonHistogram(StringBuilder sb, String name, LatencyHistogram histogram) {
+        sb.append("\"").append(name).append("\":{");
+        sb.append("\"count\":").append(histogram.getTotalCount()).append(",");
+        sb.append("\"mean\":").append(String.format(Locale.ROOT, "%.1f", histogram.getMean() / 1000.0));
+        for (int i = 0; i < PERCENTILES.length; i++) {
+            sb.append(",\"").append(PERCENTILE_NAMES[i]).append("\":")
+              .append(String.format(Locale.ROOT, "%.1f", histogram.getValueAtPercentile(PERCENTILES[i]) / 1000.0));
+        }
+        sb.append("}");
+    }
+}